@@ -0,0 +1,61 @@
+#!/bin/bash
+# Compares /verify throughput with async logging, sync logging and request logging disabled.
+# Requires a built jar (./gradlew bootJar), Docker and the `hey` load generator.
+# MongoDB is started from docker/docker-compose.yml unless MONGODB_URI points at an existing instance.
+
+JAR=${JAR:-$(ls build/libs/*.jar 2>/dev/null | grep -v plain | head -n 1)}
+PORT=${PORT:-8080}
+DURATION=${DURATION:-30s}
+CONCURRENCY=${CONCURRENCY:-50}
+MONGODB_URI=${MONGODB_URI:-}
+USERNAME="bench"
+PASSWORD="bench123"
+
+if [ -z "$JAR" ]; then
+    echo "No jar found; run ./gradlew bootJar first"
+    exit 1
+fi
+
+if [ -z "$MONGODB_URI" ]; then
+    docker compose -f docker/docker-compose.yml up -d mongo || exit 1
+    MONGODB_URI="mongodb://localhost:27017/numberverification"
+fi
+
+# Rate limiting and abuse detection would reject almost all load from a single client
+COMMON_ARGS="--server.port=${PORT} \
+    --spring.data.mongodb.uri=${MONGODB_URI} \
+    --spring.security.user.name=${USERNAME} \
+    --spring.security.user.password=${PASSWORD} \
+    --rate-limit.requests-per-minute=1000000000 \
+    --abuse-detection.enabled=false \
+    --concurrency-limit.enabled=false"
+
+function run_mode() {
+    local name="$1"
+    shift
+    
+    java -jar "$JAR" $COMMON_ARGS "$@" > /dev/null 2>&1 &
+    local pid=$!
+    
+    until curl -s "http://localhost:${PORT}/actuator/health" > /dev/null; do
+        sleep 1
+    done
+    
+    # Warm up, then measure
+    hey -z 10s -c "$CONCURRENCY" -m POST -a "${USERNAME}:${PASSWORD}" -T "application/json" \
+        -d '{"phoneNumber": "+34698765432"}' "http://localhost:${PORT}/api/v1/verify" > /dev/null
+    local rps=$(hey -z "$DURATION" -c "$CONCURRENCY" -m POST -a "${USERNAME}:${PASSWORD}" -T "application/json" \
+        -d '{"phoneNumber": "+34698765432"}' "http://localhost:${PORT}/api/v1/verify" | awk '/Requests\/sec/ {print $2}')
+    
+    echo "| ${name} | ${rps} |"
+    
+    kill "$pid"
+    wait "$pid" 2>/dev/null
+}
+
+echo "| Logging mode | Requests/sec (${CONCURRENCY} clients, ${DURATION}) |"
+echo "|--------------|--------------|"
+run_mode "async logging" --logging.request-sampling.sample-every=1
+run_mode "async logging, 1 in 10 request lines" --logging.request-sampling.sample-every=10
+run_mode "sync logging" --spring.profiles.active=sync-logging --logging.request-sampling.sample-every=1
+run_mode "request logging disabled" --logging.level.com.numberverification=WARN
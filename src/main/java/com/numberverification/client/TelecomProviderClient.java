@@ -1,29 +1,56 @@
 package com.numberverification.client;
 
 import com.numberverification.config.TelecomProviderProperties;
+import com.numberverification.util.MicroBatcher;
+import com.numberverification.util.PhoneNumberUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Component
 public class TelecomProviderClient {
     private static final Logger log = LoggerFactory.getLogger(TelecomProviderClient.class);
     
     private final WebClient webClient;
     private final TelecomProviderProperties properties;
+    private final PhoneNumberUtils phoneNumberUtils;
+    private final MicroBatcher<String, Boolean> verifyBatcher;
     
-    public TelecomProviderClient(WebClient.Builder webClientBuilder, TelecomProviderProperties properties) {
+    public TelecomProviderClient(WebClient.Builder webClientBuilder, TelecomProviderProperties properties,
+                                 PhoneNumberUtils phoneNumberUtils, MeterRegistry meterRegistry) {
         this.webClient = webClientBuilder
                 .baseUrl(properties.getBaseUrl())
                 .defaultHeader("Authorization", "Bearer " + properties.getApiKey())
                 .build();
         this.properties = properties;
+        this.phoneNumberUtils = phoneNumberUtils;
+        
+        TelecomProviderProperties.Batching batching = properties.getBatching();
+        this.verifyBatcher = batching.isEnabled()
+                ? new MicroBatcher<>(properties.getName(), batching.getMaxBatchSize(), batching.getMaxWait(),
+                                     batching.getMaxUpstreamWait(), this::verifyPhoneNumberMatches, meterRegistry)
+                : null;
     }
     
     public Mono<Boolean> verifyPhoneNumberMatch(String phoneNumber) {
-        log.debug("Verifying phone number match: {}", phoneNumber);
+        if (log.isDebugEnabled()) {
+            log.debug("Verifying phone number match: {}", phoneNumberUtils.maskPhoneNumber(phoneNumber));
+        }
+        
+        if (verifyBatcher != null) {
+            return verifyBatcher.load(phoneNumber)
+                    .onErrorResume(e -> {
+                        log.error("Error verifying phone number in batch: {}", e.getMessage());
+                        return Mono.just(false);
+                    });
+        }
         
         // In a real implementation, this would call the telecom provider API
         // For demo purposes, we're returning a mock response
@@ -46,6 +73,26 @@ public class TelecomProviderClient {
         */
     }
     
+    /**
+     * Verify several phone numbers in one upstream request
+     * @param phoneNumbers The phone numbers to verify
+     * @return Match results keyed by phone number; numbers the provider did not answer are absent
+     */
+    public Mono<Map<String, Boolean>> verifyPhoneNumberMatches(List<String> phoneNumbers) {
+        log.debug("Verifying batch of {} phone numbers", phoneNumbers.size());
+        
+        // Mock implementation for demo
+        return Mono.just(phoneNumbers.stream().collect(Collectors.toMap(phoneNumber -> phoneNumber, phoneNumber -> true)));
+        
+        /* Real implementation would look like this:
+        return webClient.post()
+                .uri("/verify/batch")
+                .bodyValue(Map.of("msisdns", phoneNumbers))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Boolean>>() {});
+        */
+    }
+    
     public Mono<String> getDevicePhoneNumber() {
         log.debug("Retrieving device phone number");
         
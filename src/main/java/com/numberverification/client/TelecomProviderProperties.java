@@ -3,13 +3,66 @@ package com.numberverification.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @ConfigurationProperties(prefix = "telecom.provider")
 public class TelecomProviderProperties {
+    private String name = "default";
     private String baseUrl;
     private String apiKey;
+    private Batching batching = new Batching();
+    
+    // Opt-in micro-batching of single verify calls into upstream batch requests
+    public static class Batching {
+        private boolean enabled = false;
+        private int maxBatchSize = 50;
+        private Duration maxWait = Duration.ofMillis(5);
+        // Fails every caller in a batch whose upstream request takes longer than this
+        private Duration maxUpstreamWait = Duration.ofSeconds(2);
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+        
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+        
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+        
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+        
+        public Duration getMaxUpstreamWait() {
+            return maxUpstreamWait;
+        }
+        
+        public void setMaxUpstreamWait(Duration maxUpstreamWait) {
+            this.maxUpstreamWait = maxUpstreamWait;
+        }
+    }
     
     // Getters and setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
     public String getBaseUrl() {
         return baseUrl;
     }
@@ -25,4 +78,12 @@ public class TelecomProviderProperties {
     public void setApiKey(String apiKey) {
         this.apiKey = apiKey;
     }
+    
+    public Batching getBatching() {
+        return batching;
+    }
+    
+    public void setBatching(Batching batching) {
+        this.batching = batching;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.numberverification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "abuse-detection")
+@Validated
+public class AbuseDetectionProperties {
+    
+    public enum Action {
+        FLAG,
+        BLOCK
+    }
+    
+    private boolean enabled = true;
+    @NotNull
+    private Action action = Action.FLAG;
+    
+    // Sliding window, split into slices that expire one at a time
+    @NotNull
+    private Duration window = Duration.ofHours(1);
+    @Min(1)
+    @Max(1440)
+    private int windowSlices = 6;
+    
+    // Per-client thresholds within the window
+    @Min(1)
+    private long maxVerificationsPerWindow = 400;
+    @Min(1)
+    private long maxDistinctNumbersPerWindow = 50;
+    
+    // Numbers verified at least this often within the window are reported as heavy hitters
+    @Min(1)
+    private long heavyHitterThreshold = 20;
+    @Min(1)
+    private int heavyHitterCapacity = 50;
+    
+    // Sketch sizing; memory use depends only on these values, not on traffic.
+    // Estimates stay accurate while actual clients and verifications stay within the expected values.
+    @Min(1)
+    private int expectedClients = 10000;
+    @Min(1)
+    private long expectedVerificationsPerWindow = 100000;
+    // Independently hashed rows per sketch; each estimate is the minimum across rows
+    @Min(1)
+    @Max(16)
+    private int sketchDepth = 4;
+    @Min(4)
+    @Max(16)
+    private int hyperLogLogPrecision = 6;
+    
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Action getAction() {
+        return action;
+    }
+    
+    public void setAction(Action action) {
+        this.action = action;
+    }
+    
+    public Duration getWindow() {
+        return window;
+    }
+    
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+    
+    public int getWindowSlices() {
+        return windowSlices;
+    }
+    
+    public void setWindowSlices(int windowSlices) {
+        this.windowSlices = windowSlices;
+    }
+    
+    public long getMaxVerificationsPerWindow() {
+        return maxVerificationsPerWindow;
+    }
+    
+    public void setMaxVerificationsPerWindow(long maxVerificationsPerWindow) {
+        this.maxVerificationsPerWindow = maxVerificationsPerWindow;
+    }
+    
+    public long getMaxDistinctNumbersPerWindow() {
+        return maxDistinctNumbersPerWindow;
+    }
+    
+    public void setMaxDistinctNumbersPerWindow(long maxDistinctNumbersPerWindow) {
+        this.maxDistinctNumbersPerWindow = maxDistinctNumbersPerWindow;
+    }
+    
+    public long getHeavyHitterThreshold() {
+        return heavyHitterThreshold;
+    }
+    
+    public void setHeavyHitterThreshold(long heavyHitterThreshold) {
+        this.heavyHitterThreshold = heavyHitterThreshold;
+    }
+    
+    public int getHeavyHitterCapacity() {
+        return heavyHitterCapacity;
+    }
+    
+    public void setHeavyHitterCapacity(int heavyHitterCapacity) {
+        this.heavyHitterCapacity = heavyHitterCapacity;
+    }
+    
+    public int getExpectedClients() {
+        return expectedClients;
+    }
+    
+    public void setExpectedClients(int expectedClients) {
+        this.expectedClients = expectedClients;
+    }
+    
+    public long getExpectedVerificationsPerWindow() {
+        return expectedVerificationsPerWindow;
+    }
+    
+    public void setExpectedVerificationsPerWindow(long expectedVerificationsPerWindow) {
+        this.expectedVerificationsPerWindow = expectedVerificationsPerWindow;
+    }
+    
+    public int getSketchDepth() {
+        return sketchDepth;
+    }
+    
+    public void setSketchDepth(int sketchDepth) {
+        this.sketchDepth = sketchDepth;
+    }
+    
+    public int getHyperLogLogPrecision() {
+        return hyperLogLogPrecision;
+    }
+    
+    public void setHyperLogLogPrecision(int hyperLogLogPrecision) {
+        this.hyperLogLogPrecision = hyperLogLogPrecision;
+    }
+}
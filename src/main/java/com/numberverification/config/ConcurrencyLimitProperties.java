@@ -0,0 +1,117 @@
+package com.numberverification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "concurrency-limit")
+@Validated
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    
+    // Bounds for the adaptive in-flight request limit
+    @Min(1)
+    private int initialLimit = 20;
+    @Min(1)
+    private int minLimit = 4;
+    @Min(1)
+    private int maxLimit = 200;
+    
+    // /verify calls slower than this shrink the limit by the backoff ratio
+    @NotNull
+    private Duration latencyThreshold = Duration.ofMillis(500);
+    @DecimalMin(value = "0", inclusive = false)
+    @DecimalMax(value = "1", inclusive = false)
+    private double backoffRatio = 0.9;
+    
+    // Share of the limit that normal-priority requests may use; the rest is kept for critical requests
+    @DecimalMin(value = "0", inclusive = false)
+    @DecimalMax("1")
+    private double normalPriorityShare = 0.8;
+    @NotBlank
+    private String premiumAuthority = "ROLE_PREMIUM";
+    
+    @NotNull
+    private Duration retryAfter = Duration.ofSeconds(1);
+    
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+    
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+    
+    public int getMinLimit() {
+        return minLimit;
+    }
+    
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+    
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+    
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+    
+    public Duration getLatencyThreshold() {
+        return latencyThreshold;
+    }
+    
+    public void setLatencyThreshold(Duration latencyThreshold) {
+        this.latencyThreshold = latencyThreshold;
+    }
+    
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+    
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+    
+    public double getNormalPriorityShare() {
+        return normalPriorityShare;
+    }
+    
+    public void setNormalPriorityShare(double normalPriorityShare) {
+        this.normalPriorityShare = normalPriorityShare;
+    }
+    
+    public String getPremiumAuthority() {
+        return premiumAuthority;
+    }
+    
+    public void setPremiumAuthority(String premiumAuthority) {
+        this.premiumAuthority = premiumAuthority;
+    }
+    
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+    
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+}
@@ -3,6 +3,7 @@ package com.numberverification.config;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,14 +14,17 @@ import java.util.concurrent.ConcurrentHashMap;
 @Configuration
 public class RateLimitingConfig {
     
+    @Value("${rate-limit.requests-per-minute:10}")
+    private long requestsPerMinute;
+    
     @Bean
     public Map<String, Bucket> ipRateLimitBuckets() {
         return new ConcurrentHashMap<>();
     }
     
     public Bucket createNewBucket() {
-        // Allow 10 requests per minute
-        Bandwidth limit = Bandwidth.classic(10, Refill.greedy(10, Duration.ofMinutes(1)));
+        // Allow 10 requests per minute by default
+        Bandwidth limit = Bandwidth.classic(requestsPerMinute, Refill.greedy(requestsPerMinute, Duration.ofMinutes(1)));
         return Bucket.builder().addLimit(limit).build();
     }
 }
\ No newline at end of file
@@ -37,7 +37,8 @@ public class VerificationController {
                          content = @Content(schema = @Schema(implementation = VerificationResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid phone number format"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "429", description = "Too many requests")
+            @ApiResponse(responseCode = "429", description = "Too many requests"),
+            @ApiResponse(responseCode = "503", description = "Service overloaded, retry after the Retry-After delay")
         }
     )
     @Timed(value = "verification.time", description = "Time taken to process verification")
@@ -55,7 +56,8 @@ public class VerificationController {
             @ApiResponse(responseCode = "200", description = "Phone number retrieved", 
                          content = @Content(schema = @Schema(implementation = PhoneNumberResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "429", description = "Too many requests")
+            @ApiResponse(responseCode = "429", description = "Too many requests"),
+            @ApiResponse(responseCode = "503", description = "Service overloaded, retry after the Retry-After delay")
         }
     )
     @Timed(value = "phone.number.retrieval.time", description = "Time taken to retrieve phone number")
@@ -0,0 +1,136 @@
+package com.numberverification.filter;
+
+import com.numberverification.config.ConcurrencyLimitProperties;
+import com.numberverification.util.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds load once the number of in-flight API requests reaches an adaptive limit driven by /verify latency.
+ * Normal requests may only use part of the limit, so /device-phone-number and premium clients are shed last.
+ * Runs after Spring Security, so premium clients can be recognised, and after {@link RateLimitingFilter},
+ * so rate-limited requests never occupy a slot.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 2)
+public class ConcurrencyLimitingFilter extends OncePerRequestFilter {
+    
+    private enum Priority {
+        NORMAL,
+        CRITICAL
+    }
+    
+    private final ConcurrencyLimitProperties properties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter normalShedCounter;
+    private final Counter criticalShedCounter;
+    private final String retryAfterSeconds;
+    
+    public ConcurrencyLimitingFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = new AdaptiveConcurrencyLimiter(
+            properties.getInitialLimit(),
+            properties.getMinLimit(),
+            properties.getMaxLimit(),
+            properties.getLatencyThreshold().toNanos(),
+            properties.getBackoffRatio());
+        this.retryAfterSeconds = String.valueOf(Math.max(1, (properties.getRetryAfter().toMillis() + 999) / 1000));
+        
+        Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Current adaptive limit on in-flight API requests")
+            .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .description("API requests currently in flight")
+            .register(meterRegistry);
+        this.normalShedCounter = Counter.builder("concurrency.shed")
+            .description("API requests rejected by the concurrency limiter")
+            .tag("priority", "normal")
+            .register(meterRegistry);
+        this.criticalShedCounter = Counter.builder("concurrency.shed")
+            .description("API requests rejected by the concurrency limiter")
+            .tag("priority", "critical")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        
+        // Only limit API requests
+        String path = request.getRequestURI();
+        if (!properties.isEnabled() || !path.startsWith("/api/")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        Priority priority = resolvePriority(path);
+        double share = priority == Priority.CRITICAL ? 1.0 : properties.getNormalPriorityShare();
+        int inFlightAtStart = limiter.tryAcquire(share);
+        if (inFlightAtStart < 0) {
+            (priority == Priority.CRITICAL ? criticalShedCounter : normalShedCounter).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"Service is overloaded. Please try again later.\"}");
+            return;
+        }
+        
+        // Only /verify latency drives the limit; other endpoints just occupy a slot
+        if (!path.endsWith("/verify")) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                limiter.release();
+            }
+            return;
+        }
+        
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            int status = response.getStatus();
+            boolean failed = !completed || status >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+            // 4xx responses are answered locally without reaching the provider, so their latency says nothing about it
+            if (failed || status < HttpStatus.BAD_REQUEST.value()) {
+                limiter.release(System.nanoTime() - start, inFlightAtStart, failed);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+    
+    private Priority resolvePriority(String path) {
+        if (path.endsWith("/device-phone-number")) {
+            return Priority.CRITICAL;
+        }
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                if (properties.getPremiumAuthority().equals(authority.getAuthority())) {
+                    return Priority.CRITICAL;
+                }
+            }
+        }
+        return Priority.NORMAL;
+    }
+}
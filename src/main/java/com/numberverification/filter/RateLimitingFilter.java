@@ -1,11 +1,14 @@
 package com.numberverification.filter;
 
 import com.numberverification.config.RateLimitingConfig;
+import com.numberverification.service.AbuseDetectionService;
 import io.github.bucket4j.Bucket;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,14 +17,18 @@ import java.io.IOException;
 import java.util.Map;
 
 @Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
 public class RateLimitingFilter extends OncePerRequestFilter {
     
     private final Map<String, Bucket> ipRateLimitBuckets;
     private final RateLimitingConfig rateLimitingConfig;
+    private final AbuseDetectionService abuseDetectionService;
     
-    public RateLimitingFilter(Map<String, Bucket> ipRateLimitBuckets, RateLimitingConfig rateLimitingConfig) {
+    public RateLimitingFilter(Map<String, Bucket> ipRateLimitBuckets, RateLimitingConfig rateLimitingConfig,
+                              AbuseDetectionService abuseDetectionService) {
         this.ipRateLimitBuckets = ipRateLimitBuckets;
         this.rateLimitingConfig = rateLimitingConfig;
+        this.abuseDetectionService = abuseDetectionService;
     }
     
     @Override
@@ -38,6 +45,14 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         // Get client IP
         String clientIp = request.getRemoteAddr();
         
+        // Reject clients the abuse detector has blocked; flagged clients are only counted
+        if (abuseDetectionService.evaluate(clientIp) == AbuseDetectionService.Verdict.BLOCK) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"Request blocked due to suspicious activity.\"}");
+            return;
+        }
+        
         // Get or create bucket for this IP
         Bucket bucket = ipRateLimitBuckets.computeIfAbsent(clientIp, k -> rateLimitingConfig.createNewBucket());
         
@@ -0,0 +1,23 @@
+package com.numberverification.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import net.logstash.logback.appender.listener.AppenderListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts events the async appender discarded because its ring buffer was full.
+ */
+public class DroppedEventsListener implements AppenderListener<ILoggingEvent> {
+    private static final AtomicLong DROPPED = new AtomicLong();
+    
+    @Override
+    public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+        DROPPED.incrementAndGet();
+    }
+    
+    public static long getDroppedCount() {
+        return DROPPED.get();
+    }
+}
@@ -0,0 +1,23 @@
+package com.numberverification.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the counters kept by the logback components, which logback creates outside the Spring context.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.events.dropped", this, metrics -> DroppedEventsListener.getDroppedCount())
+            .description("Log events discarded because the async appender's ring buffer was full")
+            .register(registry);
+        FunctionCounter.builder("logging.events.sampled.out", this, metrics -> RequestLogSamplingFilter.getSampledOutCount())
+            .description("Per-request INFO log events skipped by sampling")
+            .register(registry);
+    }
+}
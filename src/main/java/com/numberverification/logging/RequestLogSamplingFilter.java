@@ -0,0 +1,65 @@
+package com.numberverification.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in every {@code sampleEvery} INFO events from the configured loggers.
+ * Runs as a turbo filter, so discarded events are never created or formatted.
+ * WARN and ERROR events are always kept.
+ */
+public class RequestLogSamplingFilter extends TurboFilter {
+    private static final AtomicLong SAMPLED_OUT = new AtomicLong();
+    
+    private final List<String> loggerNames = new ArrayList<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private int sampleEvery = 1;
+    
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A null format means an isXxxEnabled() check rather than an actual event
+        if (!isStarted() || format == null || level != Level.INFO) {
+            return FilterReply.NEUTRAL;
+        }
+        
+        AtomicLong counter = counters.get(logger.getName());
+        if (counter == null || counter.getAndIncrement() % sampleEvery == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        SAMPLED_OUT.incrementAndGet();
+        return FilterReply.DENY;
+    }
+    
+    @Override
+    public void start() {
+        if (sampleEvery < 1) {
+            addError("sampleEvery must be at least 1");
+            return;
+        }
+        for (String loggerName : loggerNames) {
+            counters.put(loggerName, new AtomicLong());
+        }
+        super.start();
+    }
+    
+    public void addLoggerName(String loggerName) {
+        loggerNames.add(loggerName);
+    }
+    
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+    
+    public static long getSampledOutCount() {
+        return SAMPLED_OUT.get();
+    }
+}
@@ -1,11 +1,11 @@
 package com.numberverification.model;
 
+import com.numberverification.validation.ValidPhoneNumber;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 
 public class VerificationRequest {
     @NotBlank(message = "Phone number is required")
-    @Pattern(regexp = "^\\+[1-9]\\d{1,14}$", message = "Phone number must be in E.164 format")
+    @ValidPhoneNumber
     private String phoneNumber;
     
     private String correlationId;
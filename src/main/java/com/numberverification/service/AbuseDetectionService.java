@@ -0,0 +1,313 @@
+package com.numberverification.service;
+
+import com.numberverification.config.AbuseDetectionProperties;
+import com.numberverification.util.CountMinSketch;
+import com.numberverification.util.HashUtils;
+import com.numberverification.util.HyperLogLogArray;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory streaming detector for verification abuse and number enumeration.
+ * <p>
+ * Verifications are counted per client with a Count-Min Sketch and distinct numbers per client
+ * with HyperLogLog, over a sliding window made of slices that expire one at a time.
+ * <p>
+ * Both sketches hash each client into one slot in each of several rows, and report the minimum
+ * estimate across rows, so a client is only overestimated if it shares a slot with busy clients
+ * in every row. Sketches are sized from the expected clients and verifications per window; memory
+ * use is fixed by those values and does not grow with traffic, but estimates degrade once traffic
+ * exceeds them.
+ */
+@Service
+public class AbuseDetectionService {
+    private static final Logger log = LoggerFactory.getLogger(AbuseDetectionService.class);
+    
+    public enum Verdict {
+        ALLOW,
+        FLAG,
+        BLOCK
+    }
+    
+    // Keeps the expected overcount of a Count-Min Sketch at about 1/8 of its threshold
+    private static final int OVERCOUNT_FACTOR = 8;
+    private static final int MIN_SKETCH_WIDTH = 64;
+    private static final long MAX_SKETCH_WIDTH = 1 << 24;
+    
+    private final AbuseDetectionProperties properties;
+    private final Clock clock;
+    private final int clientSlots;
+    private final long sliceMillis;
+    private final Slice[] slices;
+    private final Map<String, HeavyHitter> heavyHitters = new HashMap<>();
+    private final Counter flaggedCounter;
+    private final Counter blockedCounter;
+    
+    @Autowired
+    public AbuseDetectionService(AbuseDetectionProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+    
+    AbuseDetectionService(AbuseDetectionProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        if (properties.getWindow().toMillis() < properties.getWindowSlices()) {
+            throw new IllegalStateException("abuse-detection.window must be at least one millisecond per window slice");
+        }
+        this.properties = properties;
+        this.clock = clock;
+        this.sliceMillis = properties.getWindow().toMillis() / properties.getWindowSlices();
+        
+        // One client per slot on average; with the minimum across rows this keeps honest clients well below the thresholds
+        this.clientSlots = properties.getExpectedClients();
+        int verificationsWidth = sketchWidth(properties.getMaxVerificationsPerWindow());
+        int numbersWidth = sketchWidth(properties.getHeavyHitterThreshold());
+        this.slices = new Slice[properties.getWindowSlices()];
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = new Slice(properties, clientSlots, verificationsWidth, numbersWidth);
+        }
+        
+        long bytesPerSlice = 4L * properties.getSketchDepth() * (verificationsWidth + numbersWidth)
+            + (long) properties.getSketchDepth() * clientSlots * (1 << properties.getHyperLogLogPrecision());
+        log.info("Abuse detection sketches: {} client slots, Count-Min widths {}/{}, depth {}, ~{} KiB",
+                 clientSlots, verificationsWidth, numbersWidth, properties.getSketchDepth(),
+                 bytesPerSlice * slices.length / 1024);
+        
+        this.flaggedCounter = Counter.builder("abuse.detection.verdicts")
+            .description("Requests from clients exceeding the abuse detection thresholds")
+            .tag("verdict", "flag")
+            .register(meterRegistry);
+        this.blockedCounter = Counter.builder("abuse.detection.verdicts")
+            .description("Requests from clients exceeding the abuse detection thresholds")
+            .tag("verdict", "block")
+            .register(meterRegistry);
+        Gauge.builder("abuse.detection.heavy.hitters", this, service -> service.getHeavyHitters().size())
+            .description("Phone numbers verified unusually often within the window")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Record a verification attempt
+     * @param clientIp The client that requested the verification
+     * @param hashedPhoneNumber The hashed phone number being verified
+     */
+    public void recordVerification(String clientIp, String hashedPhoneNumber) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        
+        long epoch = currentEpoch();
+        Slice slice = sliceFor(epoch);
+        long clientHash = HashUtils.hash64(clientIp);
+        long numberHash = HashUtils.hash64(hashedPhoneNumber);
+        
+        slice.verifications.add(clientHash, 1);
+        for (int row = 0; row < properties.getSketchDepth(); row++) {
+            slice.distinctNumbers.offer(clientSketch(clientHash, row), numberHash);
+        }
+        slice.numbers.add(numberHash, 1);
+        
+        long numberCount = estimateNumberVerifications(numberHash, epoch);
+        if (numberCount >= properties.getHeavyHitterThreshold()) {
+            trackHeavyHitter(hashedPhoneNumber, numberCount, epoch);
+        }
+    }
+    
+    /**
+     * Evaluate a client against the configured thresholds
+     * @param clientIp The client to evaluate
+     * @return BLOCK or FLAG, depending on the configured action, when a threshold is exceeded; ALLOW otherwise
+     */
+    public Verdict evaluate(String clientIp) {
+        if (!properties.isEnabled()) {
+            return Verdict.ALLOW;
+        }
+        
+        long epoch = currentEpoch();
+        long clientHash = HashUtils.hash64(clientIp);
+        boolean exceeded = estimateVerifications(clientHash, epoch) > properties.getMaxVerificationsPerWindow()
+            || estimateDistinctNumbers(clientHash, epoch) > properties.getMaxDistinctNumbersPerWindow();
+        if (!exceeded) {
+            return Verdict.ALLOW;
+        }
+        
+        if (properties.getAction() == AbuseDetectionProperties.Action.BLOCK) {
+            blockedCounter.increment();
+            return Verdict.BLOCK;
+        }
+        flaggedCounter.increment();
+        log.debug("Client {} exceeded abuse detection thresholds", clientIp);
+        return Verdict.FLAG;
+    }
+    
+    /**
+     * @return The hashed phone numbers verified most often within the window, most frequent first
+     */
+    public List<HeavyHitter> getHeavyHitters() {
+        long epoch = currentEpoch();
+        List<HeavyHitter> result = new ArrayList<>();
+        synchronized (heavyHitters) {
+            expireHeavyHitters(epoch);
+            for (HeavyHitter heavyHitter : heavyHitters.values()) {
+                result.add(new HeavyHitter(heavyHitter.hashedPhoneNumber, heavyHitter.estimatedCount, heavyHitter.lastSeenEpoch));
+            }
+        }
+        result.sort(Comparator.comparingLong(HeavyHitter::getEstimatedCount).reversed());
+        return result;
+    }
+    
+    private long estimateVerifications(long clientHash, long epoch) {
+        long total = 0;
+        for (Slice slice : slices) {
+            if (isLive(slice, epoch)) {
+                total += slice.verifications.estimate(clientHash);
+            }
+        }
+        return total;
+    }
+    
+    private long estimateDistinctNumbers(long clientHash, long epoch) {
+        byte[] merged = new byte[1 << properties.getHyperLogLogPrecision()];
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < properties.getSketchDepth(); row++) {
+            Arrays.fill(merged, (byte) 0);
+            int sketch = clientSketch(clientHash, row);
+            for (Slice slice : slices) {
+                if (isLive(slice, epoch)) {
+                    slice.distinctNumbers.mergeInto(sketch, merged);
+                }
+            }
+            min = Math.min(min, HyperLogLogArray.estimate(merged));
+        }
+        return min;
+    }
+    
+    private long estimateNumberVerifications(long numberHash, long epoch) {
+        long total = 0;
+        for (Slice slice : slices) {
+            if (isLive(slice, epoch)) {
+                total += slice.numbers.estimate(numberHash);
+            }
+        }
+        return total;
+    }
+    
+    private void trackHeavyHitter(String hashedPhoneNumber, long estimatedCount, long epoch) {
+        synchronized (heavyHitters) {
+            HeavyHitter existing = heavyHitters.get(hashedPhoneNumber);
+            if (existing != null) {
+                existing.estimatedCount = estimatedCount;
+                existing.lastSeenEpoch = epoch;
+                return;
+            }
+            
+            expireHeavyHitters(epoch);
+            if (heavyHitters.size() >= properties.getHeavyHitterCapacity()) {
+                HeavyHitter smallest = heavyHitters.values().stream()
+                    .min(Comparator.comparingLong(HeavyHitter::getEstimatedCount))
+                    .orElseThrow();
+                if (smallest.estimatedCount >= estimatedCount) {
+                    return;
+                }
+                heavyHitters.remove(smallest.hashedPhoneNumber);
+            }
+            heavyHitters.put(hashedPhoneNumber, new HeavyHitter(hashedPhoneNumber, estimatedCount, epoch));
+        }
+        log.warn("Phone number {} verified at least {} times within the abuse detection window", 
+                 hashedPhoneNumber, estimatedCount);
+    }
+    
+    private void expireHeavyHitters(long epoch) {
+        heavyHitters.values().removeIf(heavyHitter -> heavyHitter.lastSeenEpoch <= epoch - slices.length);
+    }
+    
+    private Slice sliceFor(long epoch) {
+        Slice slice = slices[(int) (epoch % slices.length)];
+        if (slice.epoch < epoch) {
+            synchronized (slice) {
+                if (slice.epoch < epoch) {
+                    slice.clear();
+                    slice.epoch = epoch;
+                }
+            }
+        }
+        return slice;
+    }
+    
+    private boolean isLive(Slice slice, long epoch) {
+        long sliceEpoch = slice.epoch;
+        return sliceEpoch > epoch - slices.length && sliceEpoch <= epoch;
+    }
+    
+    /**
+     * @return The index of the client's distinct number sketch in the given row, using double hashing per row
+     */
+    private int clientSketch(long clientHash, int row) {
+        int h1 = (int) clientHash;
+        int h2 = (int) (clientHash >>> 32) | 1;
+        return row * clientSlots + Math.floorMod(h1 + row * h2, clientSlots);
+    }
+    
+    private int sketchWidth(long threshold) {
+        long width = Math.max(MIN_SKETCH_WIDTH, 
+                              (OVERCOUNT_FACTOR * properties.getExpectedVerificationsPerWindow() + threshold - 1) / threshold);
+        if (width > MAX_SKETCH_WIDTH) {
+            throw new IllegalStateException("abuse-detection.expected-verifications-per-window is too large for the configured thresholds");
+        }
+        return (int) width;
+    }
+    
+    private long currentEpoch() {
+        return clock.millis() / sliceMillis;
+    }
+    
+    public static class HeavyHitter {
+        private final String hashedPhoneNumber;
+        private long estimatedCount;
+        private long lastSeenEpoch;
+        
+        private HeavyHitter(String hashedPhoneNumber, long estimatedCount, long lastSeenEpoch) {
+            this.hashedPhoneNumber = hashedPhoneNumber;
+            this.estimatedCount = estimatedCount;
+            this.lastSeenEpoch = lastSeenEpoch;
+        }
+        
+        public String getHashedPhoneNumber() {
+            return hashedPhoneNumber;
+        }
+        
+        public long getEstimatedCount() {
+            return estimatedCount;
+        }
+    }
+    
+    private static class Slice {
+        private final CountMinSketch verifications;
+        private final CountMinSketch numbers;
+        private final HyperLogLogArray distinctNumbers;
+        private volatile long epoch = -1;
+        
+        private Slice(AbuseDetectionProperties properties, int clientSlots, int verificationsWidth, int numbersWidth) {
+            this.verifications = new CountMinSketch(verificationsWidth, properties.getSketchDepth());
+            this.numbers = new CountMinSketch(numbersWidth, properties.getSketchDepth());
+            this.distinctNumbers = new HyperLogLogArray(properties.getSketchDepth() * clientSlots, properties.getHyperLogLogPrecision());
+        }
+        
+        private void clear() {
+            verifications.clear();
+            numbers.clear();
+            distinctNumbers.clear();
+        }
+    }
+}
@@ -24,13 +24,16 @@ public class VerificationService {
     private final TelecomProviderClient telecomProviderClient;
     private final VerificationLogRepository verificationLogRepository;
     private final PhoneNumberUtils phoneNumberUtils;
+    private final AbuseDetectionService abuseDetectionService;
     
     public VerificationService(TelecomProviderClient telecomProviderClient, 
                               VerificationLogRepository verificationLogRepository,
-                              PhoneNumberUtils phoneNumberUtils) {
+                              PhoneNumberUtils phoneNumberUtils,
+                              AbuseDetectionService abuseDetectionService) {
         this.telecomProviderClient = telecomProviderClient;
         this.verificationLogRepository = verificationLogRepository;
         this.phoneNumberUtils = phoneNumberUtils;
+        this.abuseDetectionService = abuseDetectionService;
     }
     
     public VerificationResponse verifyPhoneNumber(VerificationRequest request) {
@@ -46,6 +49,7 @@ public class VerificationService {
         // Log the verification attempt
         String clientIp = extractClientIp();
         String hashedPhoneNumber = phoneNumberUtils.hashPhoneNumber(request.getPhoneNumber());
+        abuseDetectionService.recordVerification(clientIp, hashedPhoneNumber);
         
         VerificationLog verificationLog = VerificationLog.builder()
             .correlationId(request.getCorrelationId())
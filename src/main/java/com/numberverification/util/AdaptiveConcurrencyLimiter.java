@@ -0,0 +1,83 @@
+package com.numberverification.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight request limiter whose limit adapts to observed latency using AIMD:
+ * the limit grows by roughly one per limit's worth of fast samples while it is being used,
+ * and shrinks multiplicatively on every slow or failed sample.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limit bounds must satisfy 1 <= min <= max");
+        }
+        if (!(backoffRatio > 0 && backoffRatio < 1)) {
+            throw new IllegalArgumentException("Concurrency limit backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+    
+    /**
+     * Try to start a request
+     * @param share The fraction of the current limit available to the caller's priority
+     * @return The number of requests in flight when this one started, or -1 if it must be rejected
+     */
+    public int tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+    
+    /**
+     * Finish a request without feeding its latency into the limit
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+    
+    /**
+     * Finish a request and adjust the limit from its outcome
+     * @param latencyNanos How long the request took
+     * @param inFlightAtStart The value returned by {@link #tryAcquire(double)}
+     * @param failed Whether the request failed for reasons other than bad input
+     */
+    public void release(long latencyNanos, int inFlightAtStart, boolean failed) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlightAtStart * 2 >= limit) {
+                // Only grow while the limit is actually being used
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+    
+    public int getLimit() {
+        return (int) limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,57 @@
+package com.numberverification.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-size frequency sketch. Estimates never undercount; they overcount by roughly
+ * total count / width when keys collide in every row, so size the width from the expected volume.
+ * Counters are 32-bit, which is enough for a single window slice.
+ */
+public class CountMinSketch {
+    private final int width;
+    private final int depth;
+    private final AtomicIntegerArray counters;
+    
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Count-Min Sketch width and depth must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new AtomicIntegerArray(Math.multiplyExact(width, depth));
+    }
+    
+    /**
+     * Add a count for a key
+     * @param hash The 64-bit hash of the key, see {@link HashUtils#hash64(CharSequence)}
+     * @param count The amount to add
+     */
+    public void add(long hash, int count) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(row * width + Math.floorMod(h1 + row * h2, width), count);
+        }
+    }
+    
+    /**
+     * Estimate the count for a key
+     * @param hash The 64-bit hash of the key
+     * @return The smallest counter across all rows
+     */
+    public long estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(row * width + Math.floorMod(h1 + row * h2, width)));
+        }
+        return min;
+    }
+    
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+}
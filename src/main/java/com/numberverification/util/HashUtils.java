@@ -0,0 +1,32 @@
+package com.numberverification.util;
+
+public final class HashUtils {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private HashUtils() {
+    }
+    
+    /**
+     * Compute a well-mixed 64-bit hash for use by the probabilistic sketches
+     * @param value The value to hash
+     * @return FNV-1a over the characters of the value, finalized with the MurmurHash3 mixer
+     */
+    public static long hash64(CharSequence value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix64(hash);
+    }
+    
+    private static long mix64(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
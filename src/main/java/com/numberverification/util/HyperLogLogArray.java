@@ -0,0 +1,93 @@
+package com.numberverification.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A fixed number of HyperLogLog distinct count sketches sharing one register array.
+ * Each sketch uses 2^precision one-byte registers; the standard error is roughly 1.04 / sqrt(2^precision).
+ */
+public class HyperLogLogArray {
+    private static final VarHandle REGISTER = MethodHandles.arrayElementVarHandle(byte[].class);
+    
+    private final int precision;
+    private final int registersPerSketch;
+    private final byte[] registers;
+    
+    public HyperLogLogArray(int sketchCount, int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("HyperLogLog precision must be between 4 and 16");
+        }
+        if (sketchCount < 1) {
+            throw new IllegalArgumentException("HyperLogLog sketch count must be positive");
+        }
+        this.precision = precision;
+        this.registersPerSketch = 1 << precision;
+        this.registers = new byte[Math.multiplyExact(sketchCount, registersPerSketch)];
+    }
+    
+    /**
+     * Record a value in one sketch
+     * @param sketch The index of the sketch
+     * @param hash The 64-bit hash of the value, see {@link HashUtils#hash64(CharSequence)}
+     */
+    public void offer(int sketch, long hash) {
+        int index = sketch * registersPerSketch + (int) (hash >>> (64 - precision));
+        // Guard bit keeps the rank bounded when the remaining bits are all zero
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        byte current = (byte) REGISTER.getVolatile(registers, index);
+        while (rank > current && !REGISTER.compareAndSet(registers, index, current, rank)) {
+            current = (byte) REGISTER.getVolatile(registers, index);
+        }
+    }
+    
+    /**
+     * Merge one sketch's registers into a target array, keeping the maximum of each register
+     * @param sketch The index of the sketch
+     * @param target An array of 2^precision registers
+     */
+    public void mergeInto(int sketch, byte[] target) {
+        int offset = sketch * registersPerSketch;
+        for (int i = 0; i < registersPerSketch; i++) {
+            byte register = (byte) REGISTER.getVolatile(registers, offset + i);
+            if (register > target[i]) {
+                target[i] = register;
+            }
+        }
+    }
+    
+    public void clear() {
+        for (int i = 0; i < registers.length; i++) {
+            REGISTER.setVolatile(registers, i, (byte) 0);
+        }
+    }
+    
+    /**
+     * Estimate the number of distinct values from a set of registers
+     * @param registers Registers produced by one or more merged sketches
+     * @return The estimated cardinality, using linear counting for small ranges
+     */
+    public static long estimate(byte[] registers) {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+}
@@ -0,0 +1,176 @@
+package com.numberverification.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects concurrent single-key loads into batches, DataLoader style. A batch is sent once it holds
+ * {@code maxBatchSize} loads or once the oldest load has waited {@code maxWait}, whichever comes first.
+ * Each caller gets the result for its own key; keys missing from the batch result fail individually,
+ * and a batch that takes longer than {@code maxUpstreamWait} fails all of its callers.
+ * Metrics are tagged with the provider the batches are sent to.
+ */
+public class MicroBatcher<K, V> {
+    
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Duration maxUpstreamWait;
+    private final Function<List<K>, Mono<Map<K, V>>> batchLoader;
+    private final Scheduler scheduler;
+    
+    private final DistributionSummary batchSize;
+    private final DistributionSummary fillRatio;
+    private final Timer queueDelay;
+    private final Counter partialFailures;
+    
+    private final Object lock = new Object();
+    private List<PendingLoad<K, V>> pending;
+    // Incremented on every flush, and when cancellations empty the batch,
+    // so a stale max-wait timer does not flush the next batch early
+    private long generation;
+    
+    public MicroBatcher(String provider, int maxBatchSize, Duration maxWait, Duration maxUpstreamWait,
+                        Function<List<K>, Mono<Map<K, V>>> batchLoader, MeterRegistry meterRegistry) {
+        this(provider, maxBatchSize, maxWait, maxUpstreamWait, batchLoader, meterRegistry, Schedulers.parallel());
+    }
+    
+    MicroBatcher(String provider, int maxBatchSize, Duration maxWait, Duration maxUpstreamWait,
+                 Function<List<K>, Mono<Map<K, V>>> batchLoader, MeterRegistry meterRegistry, Scheduler scheduler) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxUpstreamWait = maxUpstreamWait;
+        this.batchLoader = batchLoader;
+        this.scheduler = scheduler;
+        this.pending = new ArrayList<>(maxBatchSize);
+        
+        this.batchSize = DistributionSummary.builder("batch.size")
+            .description("Number of loads sent in one upstream batch")
+            .tag("provider", provider)
+            .register(meterRegistry);
+        this.fillRatio = DistributionSummary.builder("batch.fill.ratio")
+            .description("Batch size as a fraction of the max batch size")
+            .tag("provider", provider)
+            .register(meterRegistry);
+        this.queueDelay = Timer.builder("batch.queue.delay")
+            .description("Time a load waited before its batch was sent")
+            .tag("provider", provider)
+            .register(meterRegistry);
+        this.partialFailures = Counter.builder("batch.partial.failures")
+            .description("Loads with no result in an otherwise successful batch")
+            .tag("provider", provider)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Load a single key as part of the next batch
+     * @param key The key to load
+     * @return The value for the key, or an error if the batch failed or had no result for it
+     */
+    public Mono<V> load(K key) {
+        return Mono.create(sink -> {
+            PendingLoad<K, V> load = new PendingLoad<>(key, sink, System.nanoTime());
+            sink.onCancel(() -> cancel(load));
+            enqueue(load);
+        });
+    }
+    
+    private void enqueue(PendingLoad<K, V> load) {
+        List<PendingLoad<K, V>> batch = null;
+        synchronized (lock) {
+            pending.add(load);
+            if (pending.size() >= maxBatchSize) {
+                batch = takePending();
+            } else if (pending.size() == 1) {
+                long scheduledGeneration = generation;
+                scheduler.schedule(() -> flushExpired(scheduledGeneration), maxWaitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+    
+    private void cancel(PendingLoad<K, V> load) {
+        // Loads already dispatched are left alone; their result is simply discarded
+        synchronized (lock) {
+            if (pending.remove(load) && pending.isEmpty()) {
+                // The timer started for this batch must not flush the next one early
+                generation++;
+            }
+        }
+    }
+    
+    private void flushExpired(long scheduledGeneration) {
+        List<PendingLoad<K, V>> batch;
+        synchronized (lock) {
+            if (scheduledGeneration != generation || pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+    
+    private List<PendingLoad<K, V>> takePending() {
+        List<PendingLoad<K, V>> batch = pending;
+        pending = new ArrayList<>(maxBatchSize);
+        generation++;
+        return batch;
+    }
+    
+    private void dispatch(List<PendingLoad<K, V>> batch) {
+        long now = System.nanoTime();
+        batchSize.record(batch.size());
+        fillRatio.record((double) batch.size() / maxBatchSize);
+        for (PendingLoad<K, V> load : batch) {
+            queueDelay.record(now - load.enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+        
+        // Concurrent loads of the same key share one upstream entry
+        List<K> keys = batch.stream().map(load -> load.key).distinct().toList();
+        Mono.defer(() -> batchLoader.apply(keys))
+            .timeout(maxUpstreamWait, scheduler)
+            .defaultIfEmpty(Map.of())
+            .subscribe(
+                results -> {
+                    for (PendingLoad<K, V> load : batch) {
+                        V value = results.get(load.key);
+                        if (value != null) {
+                            load.sink.success(value);
+                        } else {
+                            partialFailures.increment();
+                            load.sink.error(new IllegalStateException("Batch returned no result for key"));
+                        }
+                    }
+                },
+                error -> batch.forEach(load -> load.sink.error(error)));
+    }
+    
+    private static class PendingLoad<K, V> {
+        private final K key;
+        private final MonoSink<V> sink;
+        private final long enqueuedAt;
+        
+        private PendingLoad(K key, MonoSink<V> sink, long enqueuedAt) {
+            this.key = key;
+            this.sink = sink;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -24,6 +24,23 @@ public class PhoneNumberUtils {
         }
     }
     
+    /**
+     * Mask a phone number for logging, keeping the leading + and the last two digits
+     * @param phoneNumber The phone number to mask
+     * @return The masked phone number, e.g. +*********32
+     */
+    public String maskPhoneNumber(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        char[] masked = phoneNumber.toCharArray();
+        int start = masked.length > 0 && masked[0] == '+' ? 1 : 0;
+        for (int i = start; i < masked.length - 2; i++) {
+            masked[i] = '*';
+        }
+        return new String(masked);
+    }
+    
     /**
      * Normalize a phone number to E.164 format
      * @param phoneNumber The phone number to normalize
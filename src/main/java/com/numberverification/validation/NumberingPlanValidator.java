@@ -0,0 +1,229 @@
+package com.numberverification.validation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Validates E.164 numbers against a numbering plan of country codes, national number lengths
+ * and mobile prefixes. Validation is a single allocation-free pass over the number.
+ * <p>
+ * The plan is loaded from {@code numbering-plan.location} and reloaded every
+ * {@code numbering-plan.refresh-interval}; a plan that fails to load leaves the current one in place.
+ */
+@Component
+public class NumberingPlanValidator {
+    private static final Logger log = LoggerFactory.getLogger(NumberingPlanValidator.class);
+    
+    // Country codes of 1, 2 and 3 digits share one table: slots 0-9, 10-109 and 110-1109
+    private static final int SLOT_COUNT = 1110;
+    private static final int MAX_DIGITS = 15;
+    
+    public enum Result {
+        VALID,
+        INVALID_FORMAT,
+        UNKNOWN_COUNTRY_CODE,
+        INVALID_LENGTH,
+        NOT_MOBILE
+    }
+    
+    private final Resource location;
+    private volatile Plan plan;
+    
+    public NumberingPlanValidator(@Value("${numbering-plan.location:classpath:numbering-plan.csv}") Resource location) {
+        this.location = location;
+        try {
+            this.plan = Plan.load(location);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to load numbering plan from " + location, e);
+        }
+    }
+    
+    /**
+     * Validate a phone number
+     * @param phoneNumber The phone number in E.164 format
+     * @return VALID, or the first check the number failed
+     */
+    public Result validate(CharSequence phoneNumber) {
+        int length = phoneNumber.length();
+        if (length < 3 || length > MAX_DIGITS + 1 || phoneNumber.charAt(0) != '+') {
+            return Result.INVALID_FORMAT;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = phoneNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return Result.INVALID_FORMAT;
+            }
+        }
+        
+        // Plan.load rejects overlapping country codes, so the first assigned match is the only one
+        Plan current = plan;
+        int countryCode = 0;
+        for (int codeLength = 1; codeLength <= 3 && codeLength < length - 1; codeLength++) {
+            countryCode = countryCode * 10 + (phoneNumber.charAt(codeLength) - '0');
+            int slot = slot(countryCode, codeLength);
+            if (current.maxLength[slot] == 0) {
+                continue;
+            }
+            
+            int nationalLength = length - 1 - codeLength;
+            if (nationalLength < current.minLength[slot] || nationalLength > current.maxLength[slot]) {
+                return Result.INVALID_LENGTH;
+            }
+            return current.isMobile(slot, phoneNumber, 1 + codeLength, nationalLength) ? Result.VALID : Result.NOT_MOBILE;
+        }
+        return Result.UNKNOWN_COUNTRY_CODE;
+    }
+    
+    @Scheduled(fixedDelayString = "${numbering-plan.refresh-interval:PT1H}",
+               initialDelayString = "${numbering-plan.refresh-interval:PT1H}")
+    public void refresh() {
+        try {
+            plan = Plan.load(location);
+            log.debug("Reloaded numbering plan from {}", location);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to reload numbering plan from {}, keeping the current plan: {}", location, e.getMessage());
+        }
+    }
+    
+    private static int slot(int countryCode, int codeLength) {
+        return switch (codeLength) {
+            case 1 -> countryCode;
+            case 2 -> 10 + countryCode;
+            default -> 110 + countryCode;
+        };
+    }
+    
+    private static final class Plan {
+        private final byte[] minLength = new byte[SLOT_COUNT];
+        private final byte[] maxLength = new byte[SLOT_COUNT];
+        // Sorted keys of (prefix value * 16 + prefix length), and the distinct prefix lengths per slot
+        private final long[][] mobilePrefixes = new long[SLOT_COUNT][];
+        private final byte[][] mobilePrefixLengths = new byte[SLOT_COUNT][];
+        
+        private boolean isMobile(int slot, CharSequence phoneNumber, int start, int nationalLength) {
+            long[] prefixes = mobilePrefixes[slot];
+            if (prefixes == null) {
+                return true;
+            }
+            for (byte prefixLength : mobilePrefixLengths[slot]) {
+                if (prefixLength > nationalLength) {
+                    break;
+                }
+                long value = 0;
+                for (int i = start; i < start + prefixLength; i++) {
+                    value = value * 10 + (phoneNumber.charAt(i) - '0');
+                }
+                if (Arrays.binarySearch(prefixes, value * 16 + prefixLength) >= 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private static Plan load(Resource resource) throws IOException {
+            Plan plan = new Plan();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    try {
+                        plan.addEntry(line.split(",", -1));
+                    } catch (RuntimeException e) {
+                        throw new IllegalArgumentException("Invalid numbering plan entry on line " + lineNumber + ": " + line, e);
+                    }
+                }
+            }
+            return plan;
+        }
+        
+        private void addEntry(String[] fields) {
+            if (fields.length != 4) {
+                throw new IllegalArgumentException("Expected countryCode,minLength,maxLength,mobilePrefixes");
+            }
+            String countryCode = fields[0].trim();
+            int min = Integer.parseInt(fields[1].trim());
+            int max = Integer.parseInt(fields[2].trim());
+            if (countryCode.isEmpty() || countryCode.length() > 3 || countryCode.charAt(0) == '0') {
+                throw new IllegalArgumentException("Invalid country code");
+            }
+            if (min < 1 || min > max || countryCode.length() + max > MAX_DIGITS) {
+                throw new IllegalArgumentException("Invalid national number length bounds");
+            }
+            
+            int code = Integer.parseInt(countryCode);
+            int slot = slot(code, countryCode.length());
+            if (maxLength[slot] != 0) {
+                throw new IllegalArgumentException("Duplicate country code");
+            }
+            if (overlapsAssignedCode(code, countryCode.length())) {
+                throw new IllegalArgumentException("Country code is a prefix of, or prefixed by, another country code");
+            }
+            minLength[slot] = (byte) min;
+            maxLength[slot] = (byte) max;
+            
+            String prefixField = fields[3].trim();
+            if (prefixField.isEmpty()) {
+                return;
+            }
+            String[] prefixes = prefixField.split("\\s+");
+            long[] keys = new long[prefixes.length];
+            for (int i = 0; i < prefixes.length; i++) {
+                if (prefixes[i].chars().anyMatch(c -> c < '0' || c > '9')) {
+                    throw new IllegalArgumentException("Mobile prefixes must only contain digits");
+                }
+                if (prefixes[i].length() > max) {
+                    throw new IllegalArgumentException("Mobile prefix longer than the national number");
+                }
+                keys[i] = Long.parseLong(prefixes[i]) * 16 + prefixes[i].length();
+            }
+            Arrays.sort(keys);
+            mobilePrefixes[slot] = keys;
+            mobilePrefixLengths[slot] = distinctLengths(prefixes);
+        }
+        
+        /**
+         * @return Whether a shorter code prefixing this one, or a longer code starting with it, is already assigned
+         */
+        private boolean overlapsAssignedCode(int code, int codeLength) {
+            for (int length = 1; length < codeLength; length++) {
+                int prefix = code / (int) Math.pow(10, codeLength - length);
+                if (maxLength[slot(prefix, length)] != 0) {
+                    return true;
+                }
+            }
+            for (int length = codeLength + 1; length <= 3; length++) {
+                int scale = (int) Math.pow(10, length - codeLength);
+                for (int extended = code * scale; extended < (code + 1) * scale; extended++) {
+                    if (maxLength[slot(extended, length)] != 0) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        
+        private static byte[] distinctLengths(String[] prefixes) {
+            int[] lengths = Arrays.stream(prefixes).mapToInt(String::length).distinct().sorted().toArray();
+            byte[] result = new byte[lengths.length];
+            for (int i = 0; i < lengths.length; i++) {
+                result[i] = (byte) lengths[i];
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.numberverification.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class PhoneNumberValidator implements ConstraintValidator<ValidPhoneNumber, String> {
+    
+    private final NumberingPlanValidator numberingPlanValidator;
+    
+    public PhoneNumberValidator(NumberingPlanValidator numberingPlanValidator) {
+        this.numberingPlanValidator = numberingPlanValidator;
+    }
+    
+    @Override
+    public boolean isValid(String phoneNumber, ConstraintValidatorContext context) {
+        if (phoneNumber == null) {
+            return true;
+        }
+        
+        NumberingPlanValidator.Result result = numberingPlanValidator.validate(phoneNumber);
+        if (result == NumberingPlanValidator.Result.VALID) {
+            return true;
+        }
+        if (result != NumberingPlanValidator.Result.INVALID_FORMAT) {
+            context.disableDefaultConstraintViolation();
+            context.buildConstraintViolationWithTemplate(message(result)).addConstraintViolation();
+        }
+        return false;
+    }
+    
+    private static String message(NumberingPlanValidator.Result result) {
+        return switch (result) {
+            case UNKNOWN_COUNTRY_CODE -> "Phone number has an unknown country code";
+            case INVALID_LENGTH -> "Phone number has an invalid length for its country";
+            case NOT_MOBILE -> "Phone number is not in a mobile range";
+            default -> "Phone number must be in E.164 format";
+        };
+    }
+}
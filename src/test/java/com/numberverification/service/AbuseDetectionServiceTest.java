@@ -0,0 +1,118 @@
+package com.numberverification.service;
+
+import com.numberverification.config.AbuseDetectionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AbuseDetectionServiceTest {
+    
+    private static final int CLIENTS = 10000;
+    private static final int NUMBERS_PER_CLIENT = 3;
+    private static final int VERIFICATIONS_PER_NUMBER = 4;
+    
+    private final MutableClock clock = new MutableClock();
+    
+    @Test
+    void flagsEnumeratingClientButNotHonestClientsAtExpectedLoad() {
+        AbuseDetectionProperties properties = new AbuseDetectionProperties();
+        properties.setExpectedClients(CLIENTS);
+        properties.setExpectedVerificationsPerWindow((long) CLIENTS * NUMBERS_PER_CLIENT * VERIFICATIONS_PER_NUMBER);
+        AbuseDetectionService service = new AbuseDetectionService(properties, new SimpleMeterRegistry(), clock);
+        
+        for (int client = 0; client < CLIENTS; client++) {
+            for (int number = 0; number < NUMBERS_PER_CLIENT; number++) {
+                for (int i = 0; i < VERIFICATIONS_PER_NUMBER; i++) {
+                    service.recordVerification(clientIp(client), "number-" + client + "-" + number);
+                }
+            }
+        }
+        enumerate(service, "203.0.113.66", 500);
+        
+        int flagged = 0;
+        for (int client = 0; client < CLIENTS; client++) {
+            if (service.evaluate(clientIp(client)) != AbuseDetectionService.Verdict.ALLOW) {
+                flagged++;
+            }
+        }
+        assertEquals(0, flagged);
+        assertEquals(AbuseDetectionService.Verdict.FLAG, service.evaluate("203.0.113.66"));
+    }
+    
+    @Test
+    void blocksWhenConfiguredToBlock() {
+        AbuseDetectionProperties properties = new AbuseDetectionProperties();
+        properties.setAction(AbuseDetectionProperties.Action.BLOCK);
+        AbuseDetectionService service = new AbuseDetectionService(properties, new SimpleMeterRegistry(), clock);
+        
+        enumerate(service, "203.0.113.66", 500);
+        
+        assertEquals(AbuseDetectionService.Verdict.BLOCK, service.evaluate("203.0.113.66"));
+        assertEquals(AbuseDetectionService.Verdict.ALLOW, service.evaluate("198.51.100.1"));
+    }
+    
+    @Test
+    void forgetsActivityOnceItsSlicesLeaveTheWindow() {
+        AbuseDetectionProperties properties = new AbuseDetectionProperties();
+        properties.setWindow(Duration.ofHours(1));
+        properties.setWindowSlices(6);
+        AbuseDetectionService service = new AbuseDetectionService(properties, new SimpleMeterRegistry(), clock);
+        
+        enumerate(service, "203.0.113.66", 500);
+        service.recordVerification("198.51.100.1", "popular-number");
+        for (int i = 0; i < 30; i++) {
+            service.recordVerification("198.51.100." + (i % 5), "popular-number");
+        }
+        assertEquals(1, service.getHeavyHitters().size());
+        
+        // Still inside the window
+        clock.advance(Duration.ofMinutes(50));
+        assertEquals(AbuseDetectionService.Verdict.FLAG, service.evaluate("203.0.113.66"));
+        assertEquals(1, service.getHeavyHitters().size());
+        
+        // The slice holding all activity has expired
+        clock.advance(Duration.ofMinutes(11));
+        assertEquals(AbuseDetectionService.Verdict.ALLOW, service.evaluate("203.0.113.66"));
+        assertEquals(0, service.getHeavyHitters().size());
+    }
+    
+    private static void enumerate(AbuseDetectionService service, String clientIp, int numbers) {
+        for (int number = 0; number < numbers; number++) {
+            service.recordVerification(clientIp, "enumerated-" + number);
+        }
+    }
+    
+    private static String clientIp(int client) {
+        return "10." + (client >> 16) + "." + ((client >> 8) & 0xff) + "." + (client & 0xff);
+    }
+    
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.EPOCH;
+        
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+        
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+        
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+        
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.numberverification.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+    
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+    
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, THRESHOLD, 0.9);
+        
+        for (int i = 0; i < 1000; i++) {
+            int inFlight = limiter.tryAcquire(1.0);
+            limiter.release(FAST, inFlight, false);
+        }
+        
+        assertEquals(20, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+    
+    @Test
+    void growsAdditivelyAtHighUtilisationUpToMaxLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 12, THRESHOLD, 0.9);
+        
+        saturate(limiter);
+        assertEquals(10, limiter.getLimit());
+        saturate(limiter);
+        assertEquals(11, limiter.getLimit());
+        
+        for (int i = 0; i < 20; i++) {
+            saturate(limiter);
+        }
+        assertEquals(12, limiter.getLimit());
+    }
+    
+    @Test
+    void decreasesMultiplicativelyDownToMinLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, THRESHOLD, 0.5);
+        
+        limiter.release(SLOW, limiter.tryAcquire(1.0), false);
+        assertEquals(10, limiter.getLimit());
+        limiter.release(FAST, limiter.tryAcquire(1.0), true);
+        assertEquals(5, limiter.getLimit());
+        limiter.release(SLOW, limiter.tryAcquire(1.0), false);
+        assertEquals(4, limiter.getLimit());
+        limiter.release(SLOW, limiter.tryAcquire(1.0), true);
+        assertEquals(4, limiter.getLimit());
+    }
+    
+    @Test
+    void plainReleaseLeavesLimitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 200, THRESHOLD, 0.5);
+        
+        limiter.tryAcquire(1.0);
+        limiter.release();
+        
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+    
+    @Test
+    void rejectsRequestsBeyondTheirShareOfTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 200, THRESHOLD, 0.9);
+        
+        for (int i = 1; i <= 8; i++) {
+            assertEquals(i, limiter.tryAcquire(0.8));
+        }
+        assertEquals(-1, limiter.tryAcquire(0.8));
+        
+        // The remainder of the limit is still available to critical requests
+        assertEquals(9, limiter.tryAcquire(1.0));
+        assertEquals(10, limiter.tryAcquire(1.0));
+        assertEquals(-1, limiter.tryAcquire(1.0));
+        
+        limiter.release();
+        assertEquals(-1, limiter.tryAcquire(0.8));
+        assertEquals(10, limiter.tryAcquire(1.0));
+    }
+    
+    @Test
+    void alwaysAllowsOneRequestForTinyShares() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 4, 200, THRESHOLD, 0.9);
+        
+        assertEquals(1, limiter.tryAcquire(0.1));
+        assertEquals(-1, limiter.tryAcquire(0.1));
+    }
+    
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 0, 200, THRESHOLD, 0.9));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 50, 20, THRESHOLD, 0.9));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 4, 200, THRESHOLD, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 4, 200, THRESHOLD, 0));
+    }
+    
+    /**
+     * Fill the current limit, then complete every request quickly
+     */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter) {
+        int limit = limiter.getLimit();
+        int[] inFlightAtStart = new int[limit];
+        for (int i = 0; i < limit; i++) {
+            inFlightAtStart[i] = limiter.tryAcquire(1.0);
+            assertTrue(inFlightAtStart[i] > 0);
+        }
+        for (int inFlight : inFlightAtStart) {
+            limiter.release(FAST, inFlight, false);
+        }
+    }
+}
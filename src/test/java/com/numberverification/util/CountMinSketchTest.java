@@ -0,0 +1,46 @@
+package com.numberverification.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+    
+    @Test
+    void neverUndercounts() {
+        // Far more keys than counters, so every row has collisions
+        CountMinSketch sketch = new CountMinSketch(256, 4);
+        int keys = 5000;
+        for (int key = 0; key < keys; key++) {
+            sketch.add(HashUtils.hash64("client-" + key), 1 + key % 37);
+        }
+        
+        for (int key = 0; key < keys; key++) {
+            long actual = 1 + key % 37;
+            long estimate = sketch.estimate(HashUtils.hash64("client-" + key));
+            assertTrue(estimate >= actual, "Estimated " + estimate + " for " + actual);
+        }
+    }
+    
+    @Test
+    void isExactWithoutCollisions() {
+        CountMinSketch sketch = new CountMinSketch(4096, 4);
+        sketch.add(HashUtils.hash64("a"), 7);
+        sketch.add(HashUtils.hash64("b"), 3);
+        sketch.add(HashUtils.hash64("a"), 2);
+        
+        assertEquals(9, sketch.estimate(HashUtils.hash64("a")));
+        assertEquals(3, sketch.estimate(HashUtils.hash64("b")));
+        assertEquals(0, sketch.estimate(HashUtils.hash64("c")));
+    }
+    
+    @Test
+    void clearResetsCounts() {
+        CountMinSketch sketch = new CountMinSketch(64, 2);
+        sketch.add(HashUtils.hash64("a"), 5);
+        sketch.clear();
+        
+        assertEquals(0, sketch.estimate(HashUtils.hash64("a")));
+    }
+}
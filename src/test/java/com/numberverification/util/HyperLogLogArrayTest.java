@@ -0,0 +1,67 @@
+package com.numberverification.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogArrayTest {
+    
+    @ParameterizedTest
+    @CsvSource({
+        "6, 3, 0.15",
+        "6, 50, 0.15",
+        "6, 1000, 0.3",
+        "10, 100, 0.1",
+        "10, 10000, 0.1",
+        "10, 100000, 0.1"
+    })
+    void estimatesKnownCardinalities(int precision, int cardinality, double tolerance) {
+        HyperLogLogArray sketches = new HyperLogLogArray(1, precision);
+        for (int i = 0; i < cardinality; i++) {
+            // Repeats must not change the estimate
+            sketches.offer(0, HashUtils.hash64("+3460000" + i));
+            sketches.offer(0, HashUtils.hash64("+3460000" + i));
+        }
+        
+        long estimate = estimate(sketches, 0, precision);
+        assertTrue(Math.abs(estimate - cardinality) <= cardinality * tolerance,
+                   "Estimated " + estimate + " for " + cardinality);
+    }
+    
+    @Test
+    void keepsSketchesSeparateAndMergesUnions() {
+        HyperLogLogArray sketches = new HyperLogLogArray(2, 8);
+        for (int i = 0; i < 30; i++) {
+            sketches.offer(0, HashUtils.hash64("a" + i));
+            sketches.offer(1, HashUtils.hash64("b" + i));
+        }
+        
+        byte[] union = new byte[1 << 8];
+        sketches.mergeInto(0, union);
+        sketches.mergeInto(1, union);
+        long estimate = HyperLogLogArray.estimate(union);
+        assertTrue(Math.abs(estimate - 60) <= 6, "Estimated " + estimate + " for 60");
+        assertTrue(Math.abs(estimate(sketches, 0, 8) - 30) <= 3);
+        assertTrue(Math.abs(estimate(sketches, 1, 8) - 30) <= 3);
+    }
+    
+    @Test
+    void clearResetsAllSketches() {
+        HyperLogLogArray sketches = new HyperLogLogArray(2, 6);
+        sketches.offer(0, HashUtils.hash64("a"));
+        sketches.offer(1, HashUtils.hash64("b"));
+        sketches.clear();
+        
+        assertEquals(0, estimate(sketches, 0, 6));
+        assertEquals(0, estimate(sketches, 1, 6));
+    }
+    
+    private static long estimate(HyperLogLogArray sketches, int sketch, int precision) {
+        byte[] registers = new byte[1 << precision];
+        sketches.mergeInto(sketch, registers);
+        return HyperLogLogArray.estimate(registers);
+    }
+}
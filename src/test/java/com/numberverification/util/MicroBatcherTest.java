@@ -0,0 +1,154 @@
+package com.numberverification.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MicroBatcherTest {
+    
+    private static final Duration LONG_WAIT = Duration.ofSeconds(30);
+    
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final VirtualTimeScheduler virtualTime = VirtualTimeScheduler.create();
+    
+    // Answers every key with its length
+    private final Function<List<String>, Mono<Map<String, Integer>>> lengthLoader = keys -> {
+        batches.add(keys);
+        return Mono.just(keys.stream().collect(Collectors.toMap(key -> key, String::length)));
+    };
+    
+    private MicroBatcher<String, Integer> batcher(int maxBatchSize, Duration maxWait,
+                                                  Function<List<String>, Mono<Map<String, Integer>>> loader) {
+        return new MicroBatcher<>("test", maxBatchSize, maxWait, LONG_WAIT, loader, new SimpleMeterRegistry());
+    }
+    
+    private MicroBatcher<String, Integer> virtualTimeBatcher(int maxBatchSize, Duration maxWait) {
+        return new MicroBatcher<>("test", maxBatchSize, maxWait, LONG_WAIT, lengthLoader, new SimpleMeterRegistry(), virtualTime);
+    }
+    
+    @Test
+    void flushesWhenBatchIsFull() throws Exception {
+        MicroBatcher<String, Integer> batcher = batcher(3, LONG_WAIT, lengthLoader);
+        
+        CompletableFuture<Integer> a = batcher.load("a").toFuture();
+        CompletableFuture<Integer> bb = batcher.load("bb").toFuture();
+        assertEquals(0, batches.size());
+        CompletableFuture<Integer> ccc = batcher.load("ccc").toFuture();
+        
+        assertEquals(1, a.get(1, TimeUnit.SECONDS));
+        assertEquals(2, bb.get(1, TimeUnit.SECONDS));
+        assertEquals(3, ccc.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a", "bb", "ccc")), batches);
+    }
+    
+    @Test
+    void flushesWhenMaxWaitExpires() throws Exception {
+        MicroBatcher<String, Integer> batcher = batcher(10, Duration.ofMillis(50), lengthLoader);
+        
+        CompletableFuture<Integer> a = batcher.load("a").toFuture();
+        CompletableFuture<Integer> bb = batcher.load("bb").toFuture();
+        
+        assertEquals(1, a.get(1, TimeUnit.SECONDS));
+        assertEquals(2, bb.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a", "bb")), batches);
+    }
+    
+    @Test
+    void staleTimerDoesNotFlushNextBatchEarly() throws Exception {
+        MicroBatcher<String, Integer> batcher = virtualTimeBatcher(2, Duration.ofMillis(1000));
+        
+        // The timer started by "a" is due at 1000ms, but "bb" fills the batch first
+        batcher.load("a").toFuture();
+        virtualTime.advanceTimeBy(Duration.ofMillis(400));
+        batcher.load("bb").toFuture();
+        CompletableFuture<Integer> ccc = batcher.load("ccc").toFuture();
+        assertEquals(1, batches.size());
+        
+        // Past the stale timer, but before the timer started by "ccc", due at 1400ms
+        virtualTime.advanceTimeBy(Duration.ofMillis(800));
+        assertFalse(ccc.isDone());
+        assertEquals(1, batches.size());
+        
+        virtualTime.advanceTimeBy(Duration.ofMillis(200));
+        assertEquals(3, ccc.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a", "bb"), List.of("ccc")), batches);
+    }
+    
+    @Test
+    void sendsDuplicateKeysUpstreamOnce() throws Exception {
+        MicroBatcher<String, Integer> batcher = batcher(3, LONG_WAIT, lengthLoader);
+        
+        CompletableFuture<Integer> first = batcher.load("aa").toFuture();
+        CompletableFuture<Integer> second = batcher.load("aa").toFuture();
+        CompletableFuture<Integer> other = batcher.load("b").toFuture();
+        
+        assertEquals(2, first.get(1, TimeUnit.SECONDS));
+        assertEquals(2, second.get(1, TimeUnit.SECONDS));
+        assertEquals(1, other.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("aa", "b")), batches);
+    }
+    
+    @Test
+    void missingKeyFailsOnlyItsOwnCaller() throws Exception {
+        MicroBatcher<String, Integer> batcher = batcher(2, LONG_WAIT, keys -> Mono.just(Map.of("a", 1)));
+        
+        CompletableFuture<Integer> a = batcher.load("a").toFuture();
+        CompletableFuture<Integer> missing = batcher.load("missing").toFuture();
+        
+        assertEquals(1, a.get(1, TimeUnit.SECONDS));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> missing.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+    }
+    
+    @Test
+    void hungUpstreamFailsAllCallers() {
+        MicroBatcher<String, Integer> batcher = new MicroBatcher<>("test", 2, LONG_WAIT, Duration.ofMillis(100),
+                                                                  keys -> Mono.never(), new SimpleMeterRegistry());
+        
+        CompletableFuture<Integer> a = batcher.load("a").toFuture();
+        CompletableFuture<Integer> b = batcher.load("b").toFuture();
+        
+        ExecutionException errorA = assertThrows(ExecutionException.class, () -> a.get(1, TimeUnit.SECONDS));
+        ExecutionException errorB = assertThrows(ExecutionException.class, () -> b.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, errorA.getCause());
+        assertInstanceOf(TimeoutException.class, errorB.getCause());
+    }
+    
+    @Test
+    void cancelledLoadIsNotSentUpstream() throws Exception {
+        MicroBatcher<String, Integer> batcher = virtualTimeBatcher(2, Duration.ofMillis(1000));
+        
+        // The timer started by "cancelled" is due at 1000ms and must not flush "a", which arrives later
+        Disposable cancelled = batcher.load("cancelled").subscribe();
+        cancelled.dispose();
+        virtualTime.advanceTimeBy(Duration.ofMillis(500));
+        CompletableFuture<Integer> a = batcher.load("a").toFuture();
+        
+        virtualTime.advanceTimeBy(Duration.ofMillis(600));
+        assertFalse(a.isDone());
+        assertTrue(batches.isEmpty());
+        
+        virtualTime.advanceTimeBy(Duration.ofMillis(400));
+        assertEquals(1, a.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a")), batches);
+    }
+}
@@ -0,0 +1,103 @@
+package com.numberverification.validation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NumberingPlanValidatorTest {
+    
+    // Geographic and network country codes assigned by the ITU; global services (800, 808, 878, 888, 979) excluded
+    private static final int[] ASSIGNED_COUNTRY_CODES = {
+        1, 7, 20, 27, 30, 31, 32, 33, 34, 36, 39, 40, 41, 43, 44, 45, 46, 47, 48, 49,
+        51, 52, 53, 54, 55, 56, 57, 58, 60, 61, 62, 63, 64, 65, 66, 81, 82, 84, 86, 90, 91, 92, 93, 94, 95, 98,
+        211, 212, 213, 216, 218, 220, 221, 222, 223, 224, 225, 226, 227, 228, 229, 230, 231, 232, 233, 234,
+        235, 236, 237, 238, 239, 240, 241, 242, 243, 244, 245, 246, 247, 248, 249, 250, 251, 252, 253, 254,
+        255, 256, 257, 258, 260, 261, 262, 263, 264, 265, 266, 267, 268, 269, 290, 291, 297, 298, 299,
+        350, 351, 352, 353, 354, 355, 356, 357, 358, 359, 370, 371, 372, 373, 374, 375, 376, 377, 378, 379,
+        380, 381, 382, 383, 385, 386, 387, 389, 420, 421, 423, 500, 501, 502, 503, 504, 505, 506, 507, 508, 509,
+        590, 591, 592, 593, 594, 595, 596, 597, 598, 599, 670, 672, 673, 674, 675, 676, 677, 678, 679, 680,
+        681, 682, 683, 685, 686, 687, 688, 689, 690, 691, 692, 850, 852, 853, 855, 856, 870, 880, 881, 882,
+        883, 886, 960, 961, 962, 963, 964, 965, 966, 967, 968, 970, 971, 972, 973, 974, 975, 976, 977,
+        992, 993, 994, 995, 996, 998
+    };
+    
+    private final NumberingPlanValidator validator = new NumberingPlanValidator(new ClassPathResource("numbering-plan.csv"));
+    
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "+12025550123", "+79161234567", "+201012345678", "+27821234567", "+306912345678", "+31612345678",
+        "+32470123456", "+33612345678", "+34698765432", "+36201234567", "+393123456789", "+40712345678",
+        "+41781234567", "+436641234567", "+447911123456", "+4520123456", "+46701234567", "+4741234567",
+        "+48512345678", "+4915123456789", "+51912345678", "+525512345678", "+5491123456789", "+5511912345678",
+        "+56912345678", "+573001234567", "+584121234567", "+60123456789", "+61412345678", "+628123456789",
+        "+639171234567", "+64211234567", "+6581234567", "+66812345678", "+819012345678", "+821012345678",
+        "+84912345678", "+8613812345678", "+905321234567", "+919812345678", "+923001234567", "+212612345678",
+        "+2348031234567", "+254712345678", "+351912345678", "+352621123456", "+353851234567", "+358401234567",
+        "+359871234567", "+37061234567", "+37121234567", "+3725123456", "+380501234567", "+385911234567",
+        "+38631234567", "+420601123456", "+421901123456", "+966501234567", "+971501234567", "+972501234567",
+        "+996700123456"
+    })
+    void acceptsSampleMobileNumbers(String phoneNumber) {
+        assertEquals(NumberingPlanValidator.Result.VALID, validator.validate(phoneNumber));
+    }
+    
+    @Test
+    void recognisesEveryAssignedCountryCode() {
+        for (int countryCode : ASSIGNED_COUNTRY_CODES) {
+            assertNotEquals(NumberingPlanValidator.Result.UNKNOWN_COUNTRY_CODE,
+                            validator.validate("+" + countryCode + "912345678"),
+                            "Country code " + countryCode);
+        }
+    }
+    
+    @Test
+    void rejectsImpossibleNumbers() {
+        assertEquals(NumberingPlanValidator.Result.INVALID_FORMAT, validator.validate("1234"));
+        assertEquals(NumberingPlanValidator.Result.INVALID_FORMAT, validator.validate("+34 698765432"));
+        assertEquals(NumberingPlanValidator.Result.UNKNOWN_COUNTRY_CODE, validator.validate("+99912345678"));
+        assertEquals(NumberingPlanValidator.Result.INVALID_LENGTH, validator.validate("+3469876543"));
+        assertEquals(NumberingPlanValidator.Result.NOT_MOBILE, validator.validate("+34912345678"));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"+4915123", "+49151234567890", "+393123456", "+43664123", "+2348031234", "+61412"})
+    void rejectsMobilePrefixesWithImpossibleLengths(String phoneNumber) {
+        assertEquals(NumberingPlanValidator.Result.INVALID_LENGTH, validator.validate(phoneNumber));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"34,9,9,6\n34,9,9,7", "1,10,10,\n12,8,8,", "123,8,8,\n12,8,8,"})
+    void rejectsDuplicateAndOverlappingCountryCodes(String plan) {
+        ByteArrayResource resource = new ByteArrayResource(plan.getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalStateException.class, () -> new NumberingPlanValidator(resource));
+    }
+    
+    @Test
+    void keepsCurrentPlanWhenRefreshFails(@TempDir Path directory) throws IOException {
+        Path plan = directory.resolve("numbering-plan.csv");
+        Files.writeString(plan, "34,9,9,6 7\n");
+        NumberingPlanValidator refreshing = new NumberingPlanValidator(new FileSystemResource(plan));
+        
+        Files.writeString(plan, "34,9,9,6 7\n3,9,9,\n");
+        refreshing.refresh();
+        assertEquals(NumberingPlanValidator.Result.VALID, refreshing.validate("+34698765432"));
+        assertEquals(NumberingPlanValidator.Result.UNKNOWN_COUNTRY_CODE, refreshing.validate("+3912345678"));
+        
+        Files.writeString(plan, "34,9,9,6 7\n39,9,10,3\n");
+        refreshing.refresh();
+        assertEquals(NumberingPlanValidator.Result.VALID, refreshing.validate("+393123456789"));
+    }
+}